@@ -0,0 +1,23 @@
+package com.example.risephonebook.config;
+
+import com.example.risephonebook.repository.embedded.EmbeddedContactStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.nio.file.Paths;
+
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "phonebook.storage", havingValue = "embedded")
+public class EmbeddedStorageConfig {
+
+    @Bean(destroyMethod = "close")
+    public EmbeddedContactStore embeddedContactStore(
+            @Value("${phonebook.embedded.path:data/contacts.log}") String path,
+            @Value("${phonebook.embedded.sync-writes:false}") boolean syncWrites) {
+        return new EmbeddedContactStore(Paths.get(path), syncWrites);
+    }
+}
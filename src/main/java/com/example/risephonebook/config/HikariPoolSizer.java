@@ -0,0 +1,94 @@
+package com.example.risephonebook.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * Sizes the Hikari pool before its first connection and rejects settings the database cannot serve.
+ *
+ * <p>The derived size is {@code cores * 2 + 1}, capped at this instance's share of the database's
+ * connection limit. An explicit maximum pool size is kept but must fit within that share.
+ */
+public class HikariPoolSizer implements BeanPostProcessor {
+    private static final Logger logger = LoggerFactory.getLogger(HikariPoolSizer.class);
+
+    private final int cores;
+    private final int dbMaxConnections;
+    private final int reservedConnections;
+    private final int instances;
+    private final Integer configuredPoolSize;
+
+    public HikariPoolSizer(int cores, int dbMaxConnections, int reservedConnections, int instances, Integer configuredPoolSize) {
+        this.cores = cores;
+        this.dbMaxConnections = dbMaxConnections;
+        this.reservedConnections = reservedConnections;
+        this.instances = instances;
+        this.configuredPoolSize = configuredPoolSize;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource) {
+            HikariDataSource dataSource = (HikariDataSource) bean;
+            int poolSize = poolSize();
+            dataSource.setMaximumPoolSize(poolSize);
+            dataSource.setMinimumIdle(poolSize);
+            validateStatementCache(driverProperties(dataSource));
+            logger.info("Sized connection pool {} to {} connections", dataSource.getPoolName(), poolSize);
+        }
+        return bean;
+    }
+
+    public int poolSize() {
+        if (instances < 1) {
+            throw new IllegalStateException("Instance count must be positive");
+        }
+        int share = (dbMaxConnections - reservedConnections) / instances;
+        if (share < 1) {
+            throw new IllegalStateException("Database connection limit " + dbMaxConnections + " leaves no connections for "
+                    + instances + " instances after reserving " + reservedConnections);
+        }
+        if (Objects.nonNull(configuredPoolSize)) {
+            if (configuredPoolSize > share) {
+                throw new IllegalStateException("Maximum pool size " + configuredPoolSize + " exceeds the per-instance share of "
+                        + share + " database connections");
+            }
+            return configuredPoolSize;
+        }
+        return Math.min(cores * 2 + 1, share);
+    }
+
+    // The PostgreSQL driver lets parameters in the JDBC URL override data-source-properties
+    private static Properties driverProperties(HikariDataSource dataSource) {
+        Properties properties = new Properties();
+        properties.putAll(dataSource.getDataSourceProperties());
+        String url = dataSource.getJdbcUrl();
+        int query = Objects.isNull(url) ? -1 : url.indexOf('?');
+        if (query >= 0) {
+            for (String parameter : url.substring(query + 1).split("&")) {
+                int separator = parameter.indexOf('=');
+                if (separator > 0) {
+                    properties.setProperty(parameter.substring(0, separator), parameter.substring(separator + 1));
+                }
+            }
+        }
+        return properties;
+    }
+
+    private void validateStatementCache(Properties properties) {
+        int prepareThreshold = Integer.parseInt(properties.getProperty("prepareThreshold", "5"));
+        int cachedQueries = Integer.parseInt(properties.getProperty("preparedStatementCacheQueries", "256"));
+        if (prepareThreshold <= 0 || cachedQueries <= 0) {
+            throw new IllegalStateException("Server-side prepared statements are disabled: prepareThreshold="
+                    + prepareThreshold + ", preparedStatementCacheQueries=" + cachedQueries);
+        }
+        if (!Boolean.parseBoolean(properties.getProperty("reWriteBatchedInserts", "false"))) {
+            logger.warn("reWriteBatchedInserts is off; batched inserts are sent as separate statements");
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.risephonebook.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+@Configuration
+@Profile("performance")
+public class PerformanceConfig {
+
+    @Bean
+    public static HikariPoolSizer hikariPoolSizer(
+            @Value("${phonebook.pool.db-max-connections:100}") int dbMaxConnections,
+            @Value("${phonebook.pool.reserved-connections:10}") int reservedConnections,
+            @Value("${phonebook.pool.instances:1}") int instances,
+            @Value("${spring.datasource.hikari.maximum-pool-size:#{null}}") Integer configuredPoolSize) {
+        return new HikariPoolSizer(Runtime.getRuntime().availableProcessors(),
+                dbMaxConnections, reservedConnections, instances, configuredPoolSize);
+    }
+}
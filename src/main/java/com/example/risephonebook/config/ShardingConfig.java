@@ -0,0 +1,54 @@
+package com.example.risephonebook.config;
+
+import com.example.risephonebook.repository.sharding.JdbcContactStore;
+import com.example.risephonebook.repository.sharding.ShardedContactStore;
+import com.example.risephonebook.repository.sharding.SnowflakeIdGenerator;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+@Configuration
+@ConditionalOnProperty(name = "phonebook.storage", havingValue = "sharded")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    @Bean(destroyMethod = "close")
+    public ShardedContactStore shardedContactStore(ShardingProperties properties,
+                                                   ObjectProvider<HikariPoolSizer> poolSizer,
+                                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        List<JdbcContactStore> shards = new ArrayList<>();
+        for (int i = 0; i < properties.getShards().size(); i++) {
+            HikariDataSource dataSource = shardDataSource("phonebook-shard-" + i, properties.getShards().get(i),
+                    properties.getDataSourceProperties());
+            // Shard pools are not beans, so they are sized and instrumented here before their first connection
+            meterRegistry.ifAvailable(registry -> dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            poolSizer.ifAvailable(sizer -> sizer.postProcessAfterInitialization(dataSource, dataSource.getPoolName()));
+            JdbcContactStore store = new JdbcContactStore(dataSource);
+            store.createTable();
+            shards.add(store);
+        }
+        return new ShardedContactStore(shards, new SnowflakeIdGenerator(properties.getWorkerId()));
+    }
+
+    private static HikariDataSource shardDataSource(String poolName, ShardingProperties.Shard shard, Properties dataSourceProperties) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(shard.getUrl())
+                .username(shard.getUsername())
+                .password(shard.getPassword())
+                .build();
+        dataSource.setPoolName(poolName);
+        dataSource.setDataSourceProperties(dataSourceProperties);
+        return dataSource;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.risephonebook.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+@Data
+@ConfigurationProperties(prefix = "phonebook.sharding")
+public class ShardingProperties {
+
+    private long workerId;
+    private List<Shard> shards = new ArrayList<>();
+    // Driver properties applied to every shard pool
+    private Properties dataSourceProperties = new Properties();
+
+    @Data
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -1,27 +1,42 @@
 package com.example.risephonebook.controller;
 
+import com.example.risephonebook.dto.CompactPage;
 import com.example.risephonebook.entity.Contact;
 import com.example.risephonebook.service.ContactService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Objects;
 
+import static com.example.risephonebook.utils.Validation.validateQueryNotNullOrEmpty;
+
 @RestController
 @RequestMapping("/api/contacts")
 public class ContactController {
     private static final Logger logger = LoggerFactory.getLogger(ContactController.class);
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 
     @Autowired
     private ContactService contactService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping
     public Page<Contact> getContacts(
             @RequestParam(defaultValue = "0") int page,
@@ -37,6 +52,29 @@ public class ContactController {
         logger.debug("Fetching contacts with page: {}, size: {}, sort: {}, direction: {}, id: {}, firstName: {}, lastName: {}, phone: {}, address: {}",
                 page, size, sort, direction, id, firstName, lastName, phone, address);
 
+        return findContacts(page, size, sort, direction, id, firstName, lastName, phone, address);
+    }
+
+    @GetMapping(params = "compact=true")
+    public CompactPage<Contact> getCompactContacts(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String direction,
+            @RequestParam(required = false) String id,
+            @RequestParam(required = false) String firstName,
+            @RequestParam(required = false) String lastName,
+            @RequestParam(required = false) String phone,
+            @RequestParam(required = false) String address) {
+
+        logger.debug("Fetching compact contacts with page: {}, size: {}, sort: {}, direction: {}, id: {}, firstName: {}, lastName: {}, phone: {}, address: {}",
+                page, size, sort, direction, id, firstName, lastName, phone, address);
+
+        return CompactPage.of(findContacts(page, size, sort, direction, id, firstName, lastName, phone, address));
+    }
+
+    private Page<Contact> findContacts(int page, int size, String sort, String direction,
+                                       String id, String firstName, String lastName, String phone, String address) {
         Sort sortCriteria = getSortType(direction, sort);
         PageRequest pageRequest = PageRequest.of(page, size, sortCriteria);
         return contactService.getContacts(pageRequest, id, firstName, lastName, phone, address);
@@ -58,9 +96,46 @@ public class ContactController {
     }
 
     @GetMapping("/search")
-    public List<Contact> searchContacts(@RequestParam String query) {
-        logger.debug("Searching contacts with query: {}", query);
-        return contactService.searchContacts(query);
+    public ResponseEntity<List<Contact>> searchContacts(
+            @RequestParam String query,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit) {
+        logger.debug("Searching contacts with query: {}, cursor: {}, limit: {}", query, cursor, limit);
+
+        Slice<Contact> contacts = contactService.searchContacts(query, cursor, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (contacts.hasNext()) {
+            List<Contact> content = contacts.getContent();
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(content.get(content.size() - 1).getId()));
+        }
+        return response.body(contacts.getContent());
+    }
+
+    /**
+     * Writes the matches as they are read, so memory does not grow with the result set. The response runs
+     * asynchronously and is bounded by {@code spring.mvc.async.request-timeout}.
+     */
+    @GetMapping("/search/stream")
+    public ResponseEntity<StreamingResponseBody> streamSearchContacts(@RequestParam String query) {
+        logger.debug("Streaming contacts with query: {}", query);
+        validateQueryNotNullOrEmpty(query);
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                contactService.streamSearchContacts(query, contact -> writeContact(generator, contact));
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    private void writeContact(JsonGenerator generator, Contact contact) {
+        try {
+            generator.writeObject(contact);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     @GetMapping("/{id}")
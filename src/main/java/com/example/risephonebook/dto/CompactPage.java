@@ -0,0 +1,27 @@
+package com.example.risephonebook.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * Page envelope without the pageable/sort metadata of {@link Page}.
+ * The cursor is the index of the next page, or null on the last page.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CompactPage<T> {
+
+    private List<T> content;
+    private Integer cursor;
+    private long total;
+
+    public static <T> CompactPage<T> of(Page<T> page) {
+        Integer cursor = page.hasNext() ? page.getNumber() + 1 : null;
+        return new CompactPage<>(page.getContent(), cursor, page.getTotalElements());
+    }
+}
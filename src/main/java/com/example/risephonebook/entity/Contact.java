@@ -1,5 +1,7 @@
 package com.example.risephonebook.entity;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -17,8 +19,10 @@ import javax.persistence.Id;
 @Builder
 public class Contact {
 
+    // Written as a string: sharded snowflake ids exceed the integers a JavaScript number holds exactly
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long id;
     private String firstName;
     private String lastName;
@@ -0,0 +1,45 @@
+package com.example.risephonebook.repository;
+
+import com.example.risephonebook.entity.Contact;
+import com.example.risephonebook.exception.BadRequestException;
+import org.springframework.data.domain.Sort;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * In-memory equivalent of the ORDER BY used by the database stores: nulls last when ascending,
+ * nulls first when descending, ties broken by id.
+ */
+public final class ContactOrdering {
+
+    private static final Map<String, Function<Contact, Comparable<?>>> PROPERTIES = Map.of(
+            "id", Contact::getId,
+            "firstName", Contact::getFirstName,
+            "lastName", Contact::getLastName,
+            "phone", Contact::getPhone,
+            "address", Contact::getAddress);
+
+    private ContactOrdering() {
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Comparator<Contact> comparator(Sort sort) {
+        Comparator<Contact> comparator = null;
+        for (Sort.Order order : sort) {
+            Function<Contact, Comparable<?>> property = PROPERTIES.get(order.getProperty());
+            if (Objects.isNull(property)) {
+                throw new BadRequestException("Cannot sort by " + order.getProperty());
+            }
+            Comparator<Contact> next = Comparator.comparing((Function) property, Comparator.nullsLast(Comparator.naturalOrder()));
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            comparator = Objects.isNull(comparator) ? next : comparator.thenComparing(next);
+        }
+        Comparator<Contact> byId = Comparator.comparing(Contact::getId);
+        return Objects.isNull(comparator) ? byId : comparator.thenComparing(byId);
+    }
+}
@@ -1,11 +1,34 @@
 package com.example.risephonebook.repository;
 
 import com.example.risephonebook.entity.Contact;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
-
-import java.util.List;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface ContactRepository extends JpaRepository<Contact, Long> {
-    List<Contact> findByFirstNameContainingOrLastNameContaining(String firstName, String lastName);
+
+    // One query shape for every combination of string filters, so Hibernate and the driver reuse a single plan
+    @Query("select c from Contact c where (:firstName is null or c.firstName like :firstName escape '\\')"
+            + " and (:lastName is null or c.lastName like :lastName escape '\\')"
+            + " and (:phone is null or c.phone like :phone escape '\\')"
+            + " and (:address is null or c.address like :address escape '\\')")
+    Page<Contact> findByFilter(@Param("firstName") String firstName, @Param("lastName") String lastName,
+                               @Param("phone") String phone, @Param("address") String address, Pageable pageable);
+
+    // Kept apart from findByFilter: "(:id is null or c.id = :id)" in a generic server-side plan cannot use the primary key
+    @Query("select c from Contact c where c.id = :id"
+            + " and (:firstName is null or c.firstName like :firstName escape '\\')"
+            + " and (:lastName is null or c.lastName like :lastName escape '\\')"
+            + " and (:phone is null or c.phone like :phone escape '\\')"
+            + " and (:address is null or c.address like :address escape '\\')")
+    Page<Contact> findByIdAndFilter(@Param("id") Long id, @Param("firstName") String firstName, @Param("lastName") String lastName,
+                                    @Param("phone") String phone, @Param("address") String address, Pageable pageable);
+
+    @Query("select c from Contact c where c.id > :cursor"
+            + " and (c.firstName like :pattern escape '\\' or c.lastName like :pattern escape '\\') order by c.id")
+    Slice<Contact> searchByNameAfter(@Param("pattern") String pattern, @Param("cursor") Long cursor, Pageable pageable);
 
 }
@@ -0,0 +1,34 @@
+package com.example.risephonebook.repository;
+
+import com.example.risephonebook.entity.Contact;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Storage operations used by the contact service, implemented by {@link JpaContactStore}
+ * and, for deployments without a database server, by the embedded log store.
+ */
+public interface ContactStore {
+
+    Contact save(Contact contact);
+
+    Optional<Contact> findById(Long id);
+
+    boolean existsById(Long id);
+
+    void deleteById(Long id);
+
+    /**
+     * Contacts matching every non-null field of the probe: the same id, and string fields containing the
+     * probe's value, case-sensitively. Null fields do not filter.
+     */
+    Page<Contact> findAll(Contact probe, Pageable pageable);
+
+    Slice<Contact> searchByNameAfter(String query, Long cursor, Pageable pageable);
+
+    void forEachByName(String query, Consumer<Contact> consumer);
+}
@@ -0,0 +1,84 @@
+package com.example.risephonebook.repository;
+
+import com.example.risephonebook.entity.Contact;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+@Component
+@ConditionalOnProperty(name = "phonebook.storage", havingValue = "jpa", matchIfMissing = true)
+public class JpaContactStore implements ContactStore {
+    private static final int STREAM_BATCH_SIZE = 500;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Contact save(Contact contact) {
+        return contactRepository.save(contact);
+    }
+
+    @Override
+    public Optional<Contact> findById(Long id) {
+        return contactRepository.findById(id);
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return contactRepository.existsById(id);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        contactRepository.deleteById(id);
+    }
+
+    @Override
+    public Page<Contact> findAll(Contact probe, Pageable pageable) {
+        String firstName = LikePattern.containing(probe.getFirstName());
+        String lastName = LikePattern.containing(probe.getLastName());
+        String phone = LikePattern.containing(probe.getPhone());
+        String address = LikePattern.containing(probe.getAddress());
+        if (Objects.nonNull(probe.getId())) {
+            return contactRepository.findByIdAndFilter(probe.getId(), firstName, lastName, phone, address, pageable);
+        }
+        return contactRepository.findByFilter(firstName, lastName, phone, address, pageable);
+    }
+
+    @Override
+    public Slice<Contact> searchByNameAfter(String query, Long cursor, Pageable pageable) {
+        return contactRepository.searchByNameAfter(LikePattern.containing(query), cursor, pageable);
+    }
+
+    /**
+     * Reads id-ordered batches, each in its own short query, so no connection is held while the consumer writes.
+     * Each contact is detached once consumed so the persistence context does not grow with the result set.
+     */
+    @Override
+    public void forEachByName(String query, Consumer<Contact> consumer) {
+        String pattern = LikePattern.containing(query);
+        long cursor = 0;
+        Slice<Contact> batch;
+        do {
+            batch = contactRepository.searchByNameAfter(pattern, cursor, PageRequest.of(0, STREAM_BATCH_SIZE));
+            for (Contact contact : batch) {
+                consumer.accept(contact);
+                entityManager.detach(contact);
+                cursor = contact.getId();
+            }
+        } while (batch.hasNext());
+    }
+}
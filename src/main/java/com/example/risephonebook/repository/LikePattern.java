@@ -0,0 +1,19 @@
+package com.example.risephonebook.repository;
+
+import java.util.Objects;
+
+public final class LikePattern {
+
+    private LikePattern() {
+    }
+
+    /**
+     * LIKE pattern matching values that contain the given text, with backslash as the escape character; null stays null.
+     */
+    public static String containing(String value) {
+        if (Objects.isNull(value)) {
+            return null;
+        }
+        return "%" + value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+}
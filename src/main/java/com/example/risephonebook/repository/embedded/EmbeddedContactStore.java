@@ -0,0 +1,502 @@
+package com.example.risephonebook.repository.embedded;
+
+import com.example.risephonebook.entity.Contact;
+import com.example.risephonebook.repository.ContactOrdering;
+import com.example.risephonebook.repository.ContactStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.*;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Contact store backed by an append-only, memory-mapped log file.
+ *
+ * <p>Every save appends a full record and every delete appends a tombstone. Records are framed as
+ * {@code [int length][byte type][long id][fields][int crc32]}; the file is pre-extended with zeros, so the
+ * log ends at the first zero length or checksum mismatch. Opening the store replays the log into an
+ * id → offset index, which also discards a record torn by a crash. Superseded records are reclaimed by
+ * {@link #compact()}, which rewrites the live records to a new file and atomically replaces the log.
+ *
+ * <p>A single mapping limits the log to 2 GiB. Compaction replaces the log while it is still open and mapped,
+ * which POSIX file systems allow and Windows does not, so the store only compacts on Linux and other POSIX
+ * systems; on Windows every compaction fails and the log grows until the 2 GiB limit.
+ */
+public class EmbeddedContactStore implements ContactStore, Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(EmbeddedContactStore.class);
+
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final int LENGTH_SIZE = Integer.BYTES;
+    private static final int CHECKSUM_SIZE = Integer.BYTES;
+    private static final int INITIAL_CAPACITY = 1 << 20;
+    private static final int STREAM_BATCH_SIZE = 500;
+
+    private final Path path;
+    private final boolean syncWrites;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<Long, Integer> index = new TreeMap<>();
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int end;
+    private long liveBytes;
+    private long nextId = 1;
+
+    public EmbeddedContactStore(Path path, boolean syncWrites) {
+        this.path = path;
+        this.syncWrites = syncWrites;
+        try {
+            if (Objects.nonNull(path.getParent())) {
+                Files.createDirectories(path.getParent());
+            }
+            Files.deleteIfExists(compactionPath());
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(INITIAL_CAPACITY, channel.size()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open contact log " + path, e);
+        }
+        long start = System.nanoTime();
+        recover();
+        logger.info("Recovered {} contacts from {} in {} ms", index.size(), path, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void recover() {
+        int offset = 0;
+        while (offset + LENGTH_SIZE <= buffer.capacity()) {
+            int length = buffer.getInt(offset);
+            if (length <= 0 || (long) offset + LENGTH_SIZE + length + CHECKSUM_SIZE > buffer.capacity()) {
+                break;
+            }
+            byte[] body = readBody(offset, length);
+            if (checksum(body) != buffer.getInt(offset + LENGTH_SIZE + length)) {
+                logger.warn("Discarding torn record at offset {} of {}", offset, path);
+                break;
+            }
+            ByteBuffer record = ByteBuffer.wrap(body);
+            byte type = record.get();
+            long id = record.getLong();
+            if (type == PUT) {
+                index(id, offset);
+            } else {
+                unindex(id);
+            }
+            nextId = Math.max(nextId, id + 1);
+            offset += recordSize(length);
+        }
+        end = offset;
+        terminate();
+    }
+
+    @Override
+    public Contact save(Contact contact) {
+        lock.writeLock().lock();
+        try {
+            if (Objects.isNull(contact.getId())) {
+                contact.setId(nextId);
+            }
+            nextId = Math.max(nextId, contact.getId() + 1);
+            index(contact.getId(), append(encode(PUT, contact.getId(), contact)));
+            return contact;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Contact> findById(Long id) {
+        lock.readLock().lock();
+        try {
+            Integer offset = index.get(id);
+            return Objects.isNull(offset) ? Optional.empty() : Optional.of(read(offset));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        lock.readLock().lock();
+        try {
+            return index.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        lock.writeLock().lock();
+        try {
+            if (!index.containsKey(id)) {
+                throw new NoSuchElementException("Contact not found");
+            }
+            append(encode(DELETE, id, null));
+            unindex(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Keeps only the first {@code offset + size} matches in sort order, so memory is bounded by the page
+     * position rather than by the number of matching contacts.
+     */
+    @Override
+    public Page<Contact> findAll(Contact probe, Pageable pageable) {
+        Comparator<Contact> comparator = ContactOrdering.comparator(pageable.getSort());
+        long total = 0;
+        PriorityQueue<Contact> window = null;
+        List<Contact> all = new ArrayList<>();
+        int windowSize = pageable.isPaged() ? Math.toIntExact(pageable.getOffset() + pageable.getPageSize()) : 0;
+        if (pageable.isPaged()) {
+            window = new PriorityQueue<>(comparator.reversed());
+        }
+
+        lock.readLock().lock();
+        try {
+            for (int offset : index.values()) {
+                Contact contact = read(offset);
+                if (!matches(probe, contact)) {
+                    continue;
+                }
+                total++;
+                if (Objects.isNull(window)) {
+                    all.add(contact);
+                } else if (window.size() < windowSize) {
+                    window.add(contact);
+                } else if (comparator.compare(contact, window.peek()) < 0) {
+                    window.poll();
+                    window.add(contact);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (Objects.isNull(window)) {
+            all.sort(comparator);
+            return new PageImpl<>(all, pageable, total);
+        }
+        List<Contact> sorted = new ArrayList<>(window);
+        sorted.sort(comparator);
+        int from = (int) Math.min(pageable.getOffset(), sorted.size());
+        return new PageImpl<>(sorted.subList(from, sorted.size()), pageable, total);
+    }
+
+    @Override
+    public Slice<Contact> searchByNameAfter(String query, Long cursor, Pageable pageable) {
+        List<Contact> contacts = scanByName(query, cursor, pageable.getPageSize() + 1);
+        boolean hasNext = contacts.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? contacts.subList(0, pageable.getPageSize()) : contacts, pageable, hasNext);
+    }
+
+    /**
+     * Scans in id-ordered batches, releasing the lock between batches so a slow consumer does not block writers.
+     */
+    @Override
+    public void forEachByName(String query, Consumer<Contact> consumer) {
+        long cursor = 0;
+        List<Contact> batch;
+        do {
+            batch = scanByName(query, cursor, STREAM_BATCH_SIZE);
+            batch.forEach(consumer);
+            if (!batch.isEmpty()) {
+                cursor = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == STREAM_BATCH_SIZE);
+    }
+
+    private List<Contact> scanByName(String query, long cursor, int limit) {
+        List<Contact> contacts = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (int offset : index.tailMap(cursor, false).values()) {
+                Contact contact = read(offset);
+                if (contains(contact.getFirstName(), query) || contains(contact.getLastName(), query)) {
+                    contacts.add(contact);
+                    if (contacts.size() == limit) {
+                        break;
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return contacts;
+    }
+
+    @Scheduled(fixedDelayString = "${phonebook.embedded.compaction-interval-ms:600000}")
+    public void compactIfNeeded() {
+        boolean mostlySuperseded;
+        lock.readLock().lock();
+        try {
+            mostlySuperseded = end - liveBytes > liveBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (mostlySuperseded) {
+            compact();
+        }
+    }
+
+    /**
+     * Copies the live records into a new log and atomically moves it over the current one.
+     * The current channel stays open until the move succeeds, so a failed compaction leaves the store
+     * on its original log; a crash before the move leaves a partial copy that is deleted on the next open.
+     * A tombstone for the highest id is kept when that contact was deleted, so ids are not reused.
+     */
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            Path compactionPath = compactionPath();
+            byte[] highWaterMark = index.containsKey(nextId - 1) || nextId == 1 ? null : encode(DELETE, nextId - 1, null);
+            long required = liveBytes + (Objects.isNull(highWaterMark) ? 0 : recordSize(highWaterMark.length)) + LENGTH_SIZE;
+            int capacity = (int) Math.max(INITIAL_CAPACITY, required);
+            NavigableMap<Long, Integer> compacted = new TreeMap<>();
+            int offset = 0;
+            FileChannel target = null;
+            MappedByteBuffer targetBuffer;
+            try {
+                target = FileChannel.open(compactionPath,
+                        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                targetBuffer = target.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+                for (Map.Entry<Long, Integer> entry : index.entrySet()) {
+                    int size = recordSize(buffer.getInt(entry.getValue()));
+                    targetBuffer.put(offset, buffer, entry.getValue(), size);
+                    compacted.put(entry.getKey(), offset);
+                    offset += size;
+                }
+                if (Objects.nonNull(highWaterMark)) {
+                    offset += writeRecord(targetBuffer, offset, highWaterMark);
+                }
+                targetBuffer.force();
+                Files.move(compactionPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException | RuntimeException e) {
+                discard(target, compactionPath, e);
+                throw e instanceof IOException
+                        ? new UncheckedIOException("Cannot compact contact log " + path, (IOException) e)
+                        : (RuntimeException) e;
+            }
+
+            long before = end;
+            FileChannel previous = channel;
+            channel = target;
+            buffer = targetBuffer;
+            index.clear();
+            index.putAll(compacted);
+            end = offset;
+            terminate();
+            try {
+                previous.close();
+            } catch (IOException e) {
+                logger.warn("Cannot close superseded contact log channel", e);
+            }
+            logger.info("Compacted {} from {} to {} bytes", path, before, end);
+            // The rename is only durable once the directory entry reaches the disk
+            try {
+                syncDirectory(path.toAbsolutePath().getParent());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot sync directory of contact log " + path, e);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void syncDirectory(Path directory) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    private static void discard(FileChannel target, Path compactionPath, Exception failure) {
+        try {
+            if (Objects.nonNull(target)) {
+                target.close();
+            }
+            Files.deleteIfExists(compactionPath);
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    public long size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long logBytes() {
+        lock.readLock().lock();
+        try {
+            return end;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            buffer.force();
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close contact log " + path, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int append(byte[] body) {
+        int size = recordSize(body.length);
+        ensureCapacity((long) end + size + LENGTH_SIZE);
+        int offset = end;
+        end += writeRecord(buffer, offset, body);
+        terminate();
+        if (syncWrites) {
+            buffer.force();
+        }
+        return offset;
+    }
+
+    private static int writeRecord(ByteBuffer target, int offset, byte[] body) {
+        target.putInt(offset, body.length);
+        target.put(offset + LENGTH_SIZE, body);
+        target.putInt(offset + LENGTH_SIZE + body.length, checksum(body));
+        return recordSize(body.length);
+    }
+
+    private void ensureCapacity(long required) {
+        if (required <= buffer.capacity()) {
+            return;
+        }
+        long capacity = buffer.capacity();
+        while (capacity < required) {
+            capacity *= 2;
+        }
+        if (capacity > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Contact log " + path + " exceeds 2 GiB");
+        }
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot grow contact log " + path, e);
+        }
+    }
+
+    // A zero length after the last record marks the end of the log for the next recovery
+    private void terminate() {
+        if (end + LENGTH_SIZE <= buffer.capacity()) {
+            buffer.putInt(end, 0);
+        }
+    }
+
+    private void index(long id, int offset) {
+        unindex(id);
+        index.put(id, offset);
+        liveBytes += recordSize(buffer.getInt(offset));
+    }
+
+    private void unindex(long id) {
+        Integer previous = index.remove(id);
+        if (Objects.nonNull(previous)) {
+            liveBytes -= recordSize(buffer.getInt(previous));
+        }
+    }
+
+    private Contact read(int offset) {
+        ByteBuffer record = ByteBuffer.wrap(readBody(offset, buffer.getInt(offset)));
+        record.get();
+        return Contact.builder()
+                .id(record.getLong())
+                .firstName(readString(record))
+                .lastName(readString(record))
+                .phone(readString(record))
+                .address(readString(record))
+                .build();
+    }
+
+    private byte[] readBody(int offset, int length) {
+        byte[] body = new byte[length];
+        buffer.get(offset + LENGTH_SIZE, body);
+        return body;
+    }
+
+    private Path compactionPath() {
+        return path.resolveSibling(path.getFileName() + ".compact");
+    }
+
+    private static byte[] encode(byte type, long id, Contact contact) {
+        List<byte[]> fields = new ArrayList<>();
+        int length = Byte.BYTES + Long.BYTES;
+        if (Objects.nonNull(contact)) {
+            for (String field : Arrays.asList(contact.getFirstName(), contact.getLastName(), contact.getPhone(), contact.getAddress())) {
+                byte[] bytes = Objects.isNull(field) ? null : field.getBytes(StandardCharsets.UTF_8);
+                fields.add(bytes);
+                length += Integer.BYTES + (Objects.isNull(bytes) ? 0 : bytes.length);
+            }
+        }
+        ByteBuffer body = ByteBuffer.allocate(length).put(type).putLong(id);
+        for (byte[] bytes : fields) {
+            if (Objects.isNull(bytes)) {
+                body.putInt(-1);
+            } else {
+                body.putInt(bytes.length).put(bytes);
+            }
+        }
+        return body.array();
+    }
+
+    private static String readString(ByteBuffer record) {
+        int length = record.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        record.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int recordSize(int bodyLength) {
+        return LENGTH_SIZE + bodyLength + CHECKSUM_SIZE;
+    }
+
+    private static int checksum(byte[] body) {
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        return (int) crc.getValue();
+    }
+
+    private static boolean matches(Contact probe, Contact contact) {
+        return (Objects.isNull(probe.getId()) || probe.getId().equals(contact.getId()))
+                && (Objects.isNull(probe.getFirstName()) || contains(contact.getFirstName(), probe.getFirstName()))
+                && (Objects.isNull(probe.getLastName()) || contains(contact.getLastName(), probe.getLastName()))
+                && (Objects.isNull(probe.getPhone()) || contains(contact.getPhone(), probe.getPhone()))
+                && (Objects.isNull(probe.getAddress()) || contains(contact.getAddress(), probe.getAddress()));
+    }
+
+    private static boolean contains(String value, String part) {
+        return Objects.nonNull(value) && value.contains(part);
+    }
+}
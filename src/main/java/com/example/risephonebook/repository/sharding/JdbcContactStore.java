@@ -0,0 +1,177 @@
+package com.example.risephonebook.repository.sharding;
+
+import com.example.risephonebook.entity.Contact;
+import com.example.risephonebook.exception.BadRequestException;
+import com.example.risephonebook.repository.ContactStore;
+import com.example.risephonebook.repository.LikePattern;
+import org.springframework.data.domain.*;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Contact store over a single shard's datasource. Ids are assigned by the caller, so saving upserts by id.
+ *
+ * <p>String columns are ordered by code point, matching {@link com.example.risephonebook.repository.ContactOrdering},
+ * so sorted pages from several shards can be merged. On PostgreSQL this needs {@code collate "C"}, since the
+ * default locale collation sorts "apple" before "Banana".
+ */
+public class JdbcContactStore implements ContactStore, Closeable {
+
+    private static final int FETCH_SIZE = 500;
+    private static final Map<String, String> COLUMNS = Map.of(
+            "id", "id",
+            "firstName", "first_name",
+            "lastName", "last_name",
+            "phone", "phone",
+            "address", "address");
+    private static final RowMapper<Contact> ROW_MAPPER = (rs, rowNum) -> Contact.builder()
+            .id(rs.getLong("id"))
+            .firstName(rs.getString("first_name"))
+            .lastName(rs.getString("last_name"))
+            .phone(rs.getString("phone"))
+            .address(rs.getString("address"))
+            .build();
+
+    private final DataSource dataSource;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final String stringCollation;
+
+    public JdbcContactStore(DataSource dataSource) {
+        this.dataSource = dataSource;
+        jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        jdbcTemplate.getJdbcTemplate().setFetchSize(FETCH_SIZE);
+        readOnlyTransaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnlyTransaction.setReadOnly(true);
+        String databaseName = jdbcTemplate.getJdbcTemplate().execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        stringCollation = "PostgreSQL".equals(databaseName) ? " collate \"C\"" : "";
+    }
+
+    public void createTable() {
+        jdbcTemplate.getJdbcTemplate().execute("create table if not exists contact ("
+                + "id bigint primary key, first_name varchar(255), last_name varchar(255), phone varchar(255), address varchar(255))");
+    }
+
+    @Override
+    public Contact save(Contact contact) {
+        if (Objects.isNull(contact.getId())) {
+            throw new IllegalArgumentException("Sharded contacts must be saved with an id");
+        }
+        BeanPropertySqlParameterSource params = new BeanPropertySqlParameterSource(contact);
+        int updated = jdbcTemplate.update("update contact set first_name = :firstName, last_name = :lastName, "
+                + "phone = :phone, address = :address where id = :id", params);
+        if (updated == 0) {
+            jdbcTemplate.update("insert into contact (id, first_name, last_name, phone, address) "
+                    + "values (:id, :firstName, :lastName, :phone, :address)", params);
+        }
+        return contact;
+    }
+
+    @Override
+    public Optional<Contact> findById(Long id) {
+        return jdbcTemplate.query("select * from contact where id = :id", Map.of("id", id), ROW_MAPPER).stream().findFirst();
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        Long count = jdbcTemplate.queryForObject("select count(*) from contact where id = :id", Map.of("id", id), Long.class);
+        return Objects.nonNull(count) && count > 0;
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        if (jdbcTemplate.update("delete from contact where id = :id", Map.of("id", id)) == 0) {
+            throw new NoSuchElementException("Contact not found");
+        }
+    }
+
+    @Override
+    public Page<Contact> findAll(Contact probe, Pageable pageable) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder where = new StringBuilder(" where 1 = 1");
+        if (Objects.nonNull(probe.getId())) {
+            where.append(" and id = :id");
+            params.addValue("id", probe.getId());
+        }
+        appendContaining(where, params, "firstName", probe.getFirstName());
+        appendContaining(where, params, "lastName", probe.getLastName());
+        appendContaining(where, params, "phone", probe.getPhone());
+        appendContaining(where, params, "address", probe.getAddress());
+
+        String sql = "select * from contact" + where + orderBy(pageable.getSort());
+        if (pageable.isPaged()) {
+            sql += " limit :limit offset :offset";
+            params.addValue("limit", pageable.getPageSize()).addValue("offset", pageable.getOffset());
+        }
+        List<Contact> content = jdbcTemplate.query(sql, params, ROW_MAPPER);
+        Long total = jdbcTemplate.queryForObject("select count(*) from contact" + where, params, Long.class);
+        return new PageImpl<>(content, pageable, Objects.isNull(total) ? 0 : total);
+    }
+
+    @Override
+    public Slice<Contact> searchByNameAfter(String query, Long cursor, Pageable pageable) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("pattern", LikePattern.containing(query))
+                .addValue("cursor", cursor)
+                .addValue("limit", pageable.getPageSize() + 1);
+        List<Contact> contacts = jdbcTemplate.query("select * from contact where id > :cursor and "
+                + "(first_name like :pattern escape '\\' or last_name like :pattern escape '\\') order by id limit :limit", params, ROW_MAPPER);
+        boolean hasNext = contacts.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? contacts.subList(0, pageable.getPageSize()) : contacts, pageable, hasNext);
+    }
+
+    @Override
+    public void forEachByName(String query, Consumer<Contact> consumer) {
+        MapSqlParameterSource params = new MapSqlParameterSource("pattern", LikePattern.containing(query));
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query("select * from contact where "
+                        + "first_name like :pattern escape '\\' or last_name like :pattern escape '\\' order by id", params,
+                (RowCallbackHandler) rs -> consumer.accept(ROW_MAPPER.mapRow(rs, rs.getRow()))));
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (dataSource instanceof Closeable) {
+            ((Closeable) dataSource).close();
+        }
+    }
+
+    private static void appendContaining(StringBuilder where, MapSqlParameterSource params, String property, String value) {
+        if (Objects.nonNull(value)) {
+            where.append(" and ").append(COLUMNS.get(property)).append(" like :").append(property).append(" escape '\\'");
+            params.addValue(property, LikePattern.containing(value));
+        }
+    }
+
+    private String orderBy(Sort sort) {
+        StringBuilder orderBy = new StringBuilder(" order by ");
+        for (Sort.Order order : sort) {
+            String column = COLUMNS.get(order.getProperty());
+            if (Objects.isNull(column)) {
+                throw new BadRequestException("Cannot sort by " + order.getProperty());
+            }
+            orderBy.append(column);
+            if (!"id".equals(column)) {
+                orderBy.append(stringCollation);
+            }
+            orderBy.append(order.isDescending() ? " desc nulls first, " : " asc nulls last, ");
+        }
+        return orderBy.append("id asc").toString();
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.risephonebook.repository.sharding;
+
+import com.example.risephonebook.entity.Contact;
+import com.example.risephonebook.repository.ContactOrdering;
+import com.example.risephonebook.repository.ContactStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.*;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Hash-partitions contacts over several stores by id.
+ *
+ * <p>New contacts get a {@link SnowflakeIdGenerator} id, and point lookups, including listings filtered by id,
+ * go to the single shard that owns the id. Other listings and search query every shard in parallel and k-way merge the sorted results: each shard
+ * returns its first {@code offset + size} rows, so deep pages cost more per shard. Shards must return rows
+ * in {@link ContactOrdering} order for the merge to be sorted. The shard of an id depends on the shard count, so changing it requires moving data.
+ */
+public class ShardedContactStore implements ContactStore, Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(ShardedContactStore.class);
+    private static final int STREAM_BATCH_SIZE = 500;
+
+    private final List<ContactStore> shards;
+    private final SnowflakeIdGenerator idGenerator;
+    private final ExecutorService executor;
+
+    public ShardedContactStore(List<? extends ContactStore> shards, SnowflakeIdGenerator idGenerator) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        this.shards = List.copyOf(shards);
+        this.idGenerator = idGenerator;
+        this.executor = Executors.newFixedThreadPool(shards.size());
+    }
+
+    public int shardOf(long id) {
+        // Mix the bits first: the low bits of snowflake ids are a sequence that is mostly zero
+        long hash = id;
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        hash = hash ^ (hash >>> 33);
+        return (int) Math.floorMod(hash, (long) shards.size());
+    }
+
+    @Override
+    public Contact save(Contact contact) {
+        if (Objects.isNull(contact.getId())) {
+            contact.setId(idGenerator.nextId());
+        }
+        return shardFor(contact.getId()).save(contact);
+    }
+
+    @Override
+    public Optional<Contact> findById(Long id) {
+        return shardFor(id).findById(id);
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return shardFor(id).existsById(id);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        shardFor(id).deleteById(id);
+    }
+
+    @Override
+    public Page<Contact> findAll(Contact probe, Pageable pageable) {
+        if (Objects.nonNull(probe.getId())) {
+            return shardFor(probe.getId()).findAll(probe, pageable);
+        }
+        Comparator<Contact> comparator = ContactOrdering.comparator(pageable.getSort());
+        Pageable shardPageable = pageable.isPaged()
+                ? PageRequest.of(0, Math.toIntExact(pageable.getOffset() + pageable.getPageSize()), pageable.getSort())
+                : pageable;
+
+        List<Page<Contact>> pages = scatter(shard -> shard.findAll(probe, shardPageable));
+
+        long total = pages.stream().mapToLong(Page::getTotalElements).sum();
+        List<Contact> content = pageable.isPaged()
+                ? merge(pages, comparator, pageable.getOffset(), pageable.getPageSize())
+                : merge(pages, comparator, 0, Integer.MAX_VALUE);
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    @Override
+    public Slice<Contact> searchByNameAfter(String query, Long cursor, Pageable pageable) {
+        List<Slice<Contact>> slices = scatter(shard -> shard.searchByNameAfter(query, cursor, pageable));
+
+        List<Contact> content = merge(slices, ContactOrdering.comparator(Sort.unsorted()), 0, pageable.getPageSize());
+        int fetched = slices.stream().mapToInt(Slice::getNumberOfElements).sum();
+        boolean hasNext = fetched > content.size() || slices.stream().anyMatch(Slice::hasNext);
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    /**
+     * Walks the shards in global id order, one merged batch at a time.
+     */
+    @Override
+    public void forEachByName(String query, Consumer<Contact> consumer) {
+        long cursor = 0;
+        Slice<Contact> batch;
+        do {
+            batch = searchByNameAfter(query, cursor, PageRequest.of(0, STREAM_BATCH_SIZE));
+            batch.forEach(consumer);
+            if (batch.hasContent()) {
+                cursor = batch.getContent().get(batch.getNumberOfElements() - 1).getId();
+            }
+        } while (batch.hasNext());
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        for (ContactStore shard : shards) {
+            if (shard instanceof Closeable) {
+                try {
+                    ((Closeable) shard).close();
+                } catch (IOException e) {
+                    logger.warn("Cannot close contact shard", e);
+                }
+            }
+        }
+    }
+
+    private ContactStore shardFor(Long id) {
+        return shards.get(shardOf(id));
+    }
+
+    private <T> List<T> scatter(Function<ContactStore, T> query) {
+        List<CompletableFuture<T>> futures = shards.stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> query.apply(shard), executor))
+                .collect(Collectors.toList());
+        try {
+            return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static List<Contact> merge(List<? extends Slice<Contact>> sortedSlices, Comparator<Contact> comparator, long skip, int limit) {
+        PriorityQueue<Head> heads = new PriorityQueue<>(Comparator.comparing(Head::contact, comparator));
+        for (Slice<Contact> slice : sortedSlices) {
+            Iterator<Contact> contacts = slice.iterator();
+            if (contacts.hasNext()) {
+                heads.add(new Head(contacts.next(), contacts));
+            }
+        }
+
+        List<Contact> merged = new ArrayList<>();
+        long position = 0;
+        while (!heads.isEmpty() && merged.size() < limit) {
+            Head head = heads.poll();
+            if (position++ >= skip) {
+                merged.add(head.contact());
+            }
+            if (head.remaining().hasNext()) {
+                heads.add(new Head(head.remaining().next(), head.remaining()));
+            }
+        }
+        return merged;
+    }
+
+    private record Head(Contact contact, Iterator<Contact> remaining) {
+    }
+}
@@ -2,37 +2,35 @@ package com.example.risephonebook.service;
 
 import com.example.risephonebook.entity.Contact;
 import com.example.risephonebook.exception.BadRequestException;
-import com.example.risephonebook.repository.ContactRepository;
+import com.example.risephonebook.repository.ContactStore;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
-import java.util.List;
+
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.function.Consumer;
 import org.slf4j.LoggerFactory;
 import static com.example.risephonebook.utils.Validation.*;
 
 @Service
 public class ContactService {
     private static final Logger logger = LoggerFactory.getLogger(ContactService.class);
+    public static final int DEFAULT_SEARCH_LIMIT = 50;
+    public static final int MAX_SEARCH_LIMIT = 500;
 
     @Autowired
-    private ContactRepository contactRepository;
+    private ContactStore contactStore;
 
     public Page<Contact> getContacts(Pageable pageable, String id, String firstName, String lastName, String phone, String address) {
         validatePageable(pageable);
         logger.debug("Getting contacts with id: {}, firstName: {}, lastName: {}, phone: {}, address: {}",
                 id, firstName, lastName, phone, address);
 
-        ExampleMatcher matcher = ExampleMatcher.matching()
-                .withIgnoreNullValues()
-                .withStringMatcher(ExampleMatcher.StringMatcher.CONTAINING);
-
         Contact contactToFetch = buildContactToFetch(id, firstName, lastName, phone, address);
-        Example<Contact> example = Example.of(contactToFetch, matcher);
 
-        return contactRepository.findAll(example, pageable);
+        return contactStore.findAll(contactToFetch, pageable);
     }
 
     private Contact buildContactToFetch(String id, String firstName, String lastName, String phone, String address){
@@ -65,40 +63,58 @@ public class ContactService {
         validateContact(contact);
         logger.debug("Adding contact: {}", contact);
 
-        return contactRepository.save(contact);
+        return contactStore.save(contact);
+    }
+
+    /**
+     * Keyset-paginated search by first or last name, ordered by id.
+     * The cursor is the id of the last contact of the previous slice; the limit is capped at {@link #MAX_SEARCH_LIMIT}.
+     */
+    public Slice<Contact> searchContacts(String query, Long cursor, Integer limit) {
+        validateQueryNotNullOrEmpty(query);
+        validateSearchCursor(cursor);
+        validateSearchLimit(limit);
+        int effectiveLimit = Objects.isNull(limit) ? DEFAULT_SEARCH_LIMIT : Math.min(limit, MAX_SEARCH_LIMIT);
+        long effectiveCursor = Objects.isNull(cursor) ? 0L : cursor;
+        logger.debug("Searching contacts with query, name: {}, cursor: {}, limit: {}", query, effectiveCursor, effectiveLimit);
+
+        return contactStore.searchByNameAfter(query, effectiveCursor, PageRequest.of(0, effectiveLimit));
     }
 
-    public List<Contact> searchContacts(String query) {
+    /**
+     * Hands every contact matching the query to the consumer as it is read from the store.
+     */
+    public void streamSearchContacts(String query, Consumer<Contact> consumer) {
         validateQueryNotNullOrEmpty(query);
-        logger.debug("Searching contacts with query, name: {}", query);
+        logger.debug("Streaming contacts with query, name: {}", query);
 
-        return contactRepository.findByFirstNameContainingOrLastNameContaining(query, query);
+        contactStore.forEachByName(query, consumer);
     }
 
     public Contact updateContact(Long id, Contact contactDetails) {
         validateContact(contactDetails);
         logger.debug("Updating contact with id: {}, contact: {}", id, contactDetails);
 
-        Contact contact = contactRepository.findById(id).orElseThrow();
+        Contact contact = contactStore.findById(id).orElseThrow();
         contact.setFirstName(contactDetails.getFirstName());
         contact.setLastName(contactDetails.getLastName());
         contact.setPhone(contactDetails.getPhone());
         contact.setAddress(contactDetails.getAddress());
-        return contactRepository.save(contact);
+        return contactStore.save(contact);
     }
 
     public void deleteContact(Long id) {
-        if (!contactRepository.existsById(id)) {
+        if (!contactStore.existsById(id)) {
             logger.error("Contact not found with id: {}", id);
             throw new NoSuchElementException("Contact not found");
         }
         logger.debug("Deleting contact with id: {}", id);
-        contactRepository.deleteById(id);
+        contactStore.deleteById(id);
     }
 
     public Contact getContactById(Long id){
         logger.debug("Getting contact by id: {}", id);
-        return contactRepository.findById(id).orElseThrow(() -> new NoSuchElementException("Contact not found"));
+        return contactStore.findById(id).orElseThrow(() -> new NoSuchElementException("Contact not found"));
     }
 
 }
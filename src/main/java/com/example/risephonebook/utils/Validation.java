@@ -43,4 +43,16 @@ public class Validation {
             throw new BadRequestException("Search query cannot be null or empty");
         }
     }
+
+    public static void validateSearchLimit(Integer limit) {
+        if (Objects.nonNull(limit) && limit < 1) {
+            throw new BadRequestException("Search limit must be positive");
+        }
+    }
+
+    public static void validateSearchCursor(Long cursor) {
+        if (Objects.nonNull(cursor) && cursor < 0) {
+            throw new BadRequestException("Search cursor cannot be negative");
+        }
+    }
 }
@@ -3,8 +3,11 @@ package com.example.risephonebook;
 import com.example.risephonebook.controller.ContactController;
 import com.example.risephonebook.entity.Contact;
 import com.example.risephonebook.exception.BadRequestException;
+import com.example.risephonebook.repository.sharding.SnowflakeIdGenerator;
 import com.example.risephonebook.service.ContactService;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -15,14 +18,18 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
@@ -172,6 +179,26 @@ class ContactControllerTest {
         assertThat(jsonResponse).contains("John");
     }
 
+    @Test
+    void shouldRoundTripSnowflakeIdAsString() throws Exception {
+        long id = new SnowflakeIdGenerator(1).nextId();
+        contact.setId(id);
+        Mockito.when(contactService.getContactById(eq(id))).thenReturn(contact);
+        Mockito.when(contactService.updateContact(eq(id), any(Contact.class))).thenAnswer(invocation -> invocation.getArgument(1));
+
+        String jsonResponse = mockMvc.perform(get("/api/contacts/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(String.valueOf(id)))
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(put("/api/contacts/" + id)
+                        .contentType("application/json")
+                        .content(jsonResponse))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(String.valueOf(id)));
+        assertThat(objectMapper.readValue(jsonResponse, Contact.class).getId()).isEqualTo(id);
+    }
+
     @Test
     void shouldThrowExceptionWhenGettingNonExistentContactById() throws Exception {
         Mockito.when(contactService.getContactById(anyLong())).thenThrow(new NoSuchElementException("Contact not found"));
@@ -182,16 +209,71 @@ class ContactControllerTest {
 
     @Test
     void shouldSearchContacts() throws Exception {
-        Mockito.when(contactService.searchContacts(anyString())).thenReturn(Collections.singletonList(contact));
+        Mockito.when(contactService.searchContacts(anyString(), isNull(), isNull()))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(contact)));
 
         MvcResult result = mockMvc.perform(get("/api/contacts/search")
                         .param("query", "John"))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(ContactController.NEXT_CURSOR_HEADER))
                 .andReturn();
 
         assertThat(result.getResponse().getContentAsString()).contains("John");
     }
 
+    @Test
+    void shouldReturnNextCursorWhenSearchHasMoreResults() throws Exception {
+        Mockito.when(contactService.searchContacts(eq("John"), eq(0L), eq(1)))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(contact), PageRequest.of(0, 1), true));
+
+        mockMvc.perform(get("/api/contacts/search")
+                        .param("query", "John")
+                        .param("cursor", "0")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ContactController.NEXT_CURSOR_HEADER, "1"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldStreamSearchContacts() throws Exception {
+        Mockito.doAnswer(invocation -> {
+            Consumer<Contact> consumer = invocation.getArgument(1);
+            consumer.accept(contact);
+            consumer.accept(contact);
+            return null;
+        }).when(contactService).streamSearchContacts(eq("John"), any(Consumer.class));
+
+        MvcResult asyncResult = mockMvc.perform(get("/api/contacts/search/stream")
+                        .param("query", "John"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        String contactJson = objectMapper.writeValueAsString(contact);
+        assertThat(result.getResponse().getContentAsString()).isEqualTo("[" + contactJson + "," + contactJson + "]");
+    }
+
+    @Test
+    void shouldStreamWithConfiguredTimeout() throws Exception {
+        MvcResult asyncResult = mockMvc.perform(get("/api/contacts/search/stream")
+                        .param("query", "John"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertThat(asyncResult.getRequest().getAsyncContext().getTimeout()).isEqualTo(Duration.ofMinutes(10).toMillis());
+    }
+
+    @Test
+    void shouldRejectEmptyStreamSearchQuery() throws Exception {
+        mockMvc.perform(get("/api/contacts/search/stream")
+                        .param("query", ""))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void shouldHandleNoSuchElementException() throws Exception {
         Mockito.when(contactService.getContactById(anyLong())).thenThrow(new NoSuchElementException("Contact not found"));
@@ -229,4 +311,61 @@ class ContactControllerTest {
         assertThat(jsonResponse).contains("John");
         assertThat(jsonResponse).contains("Doe");
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldGetCompactContacts() throws Exception {
+        Page<Contact> contactPage = new PageImpl<>(Collections.singletonList(contact), PageRequest.of(0, 1), 3);
+        Mockito.when(contactService.getContacts(any(PageRequest.class), eq(null), eq(null), eq(null), eq(null), eq(null)))
+                .thenReturn(contactPage);
+
+        MvcResult result = mockMvc.perform(get("/api/contacts")
+                        .param("page", "0")
+                        .param("size", "1")
+                        .param("compact", "true"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode body = objectMapper.readTree(result.getResponse().getContentAsString());
+        assertThat(body.get("content").get(0).get("firstName").asText()).isEqualTo("John");
+        assertThat(body.get("cursor").asInt()).isEqualTo(1);
+        assertThat(body.get("total").asLong()).isEqualTo(3);
+        assertThat(body.has("pageable")).isFalse();
+        assertThat(body.has("sort")).isFalse();
+    }
+
+    @Test
+    void shouldGetContactsAsCbor() throws Exception {
+        Page<Contact> contactPage = new PageImpl<>(Collections.singletonList(contact));
+        Mockito.when(contactService.getContacts(any(PageRequest.class), eq(null), eq(null), eq(null), eq(null), eq(null)))
+                .thenReturn(contactPage);
+
+        MvcResult result = mockMvc.perform(get("/api/contacts")
+                        .param("compact", "true")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        JsonNode body = new ObjectMapper(new CBORFactory()).readTree(result.getResponse().getContentAsByteArray());
+        assertThat(body.get("content").get(0).get("firstName").asText()).isEqualTo("John");
+        assertThat(body.get("cursor").isNull()).isTrue();
+    }
+
+    @Test
+    void shouldEncodeCompactPageInFewerBytes() throws Exception {
+        List<Contact> contacts = Collections.nCopies(100, contact);
+        Mockito.when(contactService.getContacts(any(PageRequest.class), eq(null), eq(null), eq(null), eq(null), eq(null)))
+                .thenReturn(new PageImpl<>(contacts, PageRequest.of(0, 100, Sort.by("firstName")), 1000));
+
+        int pageBytes = mockMvc.perform(get("/api/contacts").param("size", "100").param("sort", "firstName"))
+                .andReturn().getResponse().getContentAsByteArray().length;
+        int compactBytes = mockMvc.perform(get("/api/contacts").param("size", "100").param("sort", "firstName").param("compact", "true"))
+                .andReturn().getResponse().getContentAsByteArray().length;
+        int cborBytes = mockMvc.perform(get("/api/contacts").param("size", "100").param("sort", "firstName").param("compact", "true")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray().length;
+
+        assertThat(compactBytes).isLessThan(pageBytes);
+        assertThat(cborBytes).isLessThan(compactBytes);
+    }
+}
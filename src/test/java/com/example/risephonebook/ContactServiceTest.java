@@ -2,7 +2,7 @@ package com.example.risephonebook;
 
 import com.example.risephonebook.entity.Contact;
 import com.example.risephonebook.exception.BadRequestException;
-import com.example.risephonebook.repository.ContactRepository;
+import com.example.risephonebook.repository.ContactStore;
 import com.example.risephonebook.service.ContactService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,6 +13,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.*;
 
 import java.util.*;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -23,7 +24,7 @@ import static org.mockito.Mockito.*;
 class ContactServiceTest {
 
     @Mock
-    private ContactRepository contactRepository;
+    private ContactStore contactStore;
 
     @InjectMocks
     private ContactService contactService;
@@ -53,7 +54,7 @@ class ContactServiceTest {
     @Test
     void shouldGetContacts() {
         Page<Contact> page = new PageImpl<>(Collections.singletonList(contact));
-        when(contactRepository.findAll(any(Example.class), any(Pageable.class))).thenReturn(page);
+        when(contactStore.findAll(any(Contact.class), any(Pageable.class))).thenReturn(page);
 
         Page<Contact> result = contactService.getContacts(PageRequest.of(0, 10), "1", "John", "Doe", "1234567890", "123 Main St");
 
@@ -64,7 +65,7 @@ class ContactServiceTest {
     @Test
     void shouldGetContactsWithEmptyFilter() {
         Page<Contact> page = new PageImpl<>(Collections.singletonList(contact));
-        when(contactRepository.findAll(any(Example.class), any(Pageable.class))).thenReturn(page);
+        when(contactStore.findAll(any(Contact.class), any(Pageable.class))).thenReturn(page);
 
         Page<Contact> result = contactService.getContacts(PageRequest.of(0, 10), "", "", "", "", "");
 
@@ -84,7 +85,7 @@ class ContactServiceTest {
 
     @Test
     void shouldAddContact() {
-        when(contactRepository.save(any(Contact.class))).thenReturn(contact);
+        when(contactStore.save(any(Contact.class))).thenReturn(contact);
 
         Contact result = contactService.addContact(contact);
 
@@ -116,8 +117,8 @@ class ContactServiceTest {
 
     @Test
     void shouldUpdateContact() {
-        when(contactRepository.findById(anyLong())).thenReturn(Optional.of(contact));
-        when(contactRepository.save(any(Contact.class))).thenReturn(contact);
+        when(contactStore.findById(anyLong())).thenReturn(Optional.of(contact));
+        when(contactStore.save(any(Contact.class))).thenReturn(contact);
 
         Contact result = contactService.updateContact(1L, updatedContact);
 
@@ -127,29 +128,29 @@ class ContactServiceTest {
 
     @Test
     void shouldThrowExceptionWhenUpdatingNonExistentContact() {
-        when(contactRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(contactStore.findById(anyLong())).thenReturn(Optional.empty());
 
         assertThrows(NoSuchElementException.class, () -> contactService.updateContact(1L, updatedContact));
     }
 
     @Test
     void shouldThrowExceptionWhenGetContactNotFound() {
-        when(contactRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(contactStore.findById(anyLong())).thenReturn(Optional.empty());
 
         assertThrows(NoSuchElementException.class, () -> contactService.getContactById(1L));
     }
 
     @Test
     void shouldDeleteContactWhenExists() {
-        when(contactRepository.existsById(eq(1L))).thenReturn(true);
-        doNothing().when(contactRepository).deleteById(eq(1L));
+        when(contactStore.existsById(eq(1L))).thenReturn(true);
+        doNothing().when(contactStore).deleteById(eq(1L));
 
         contactService.deleteContact(1L);
     }
 
     @Test
     void shouldThrowExceptionWhenContactNotFound() {
-        when(contactRepository.existsById(eq(1L))).thenReturn(false);
+        when(contactStore.existsById(eq(1L))).thenReturn(false);
 
         assertThrows(NoSuchElementException.class, () -> contactService.deleteContact(1L));
     }
@@ -157,17 +158,64 @@ class ContactServiceTest {
 
     @Test
     void shouldSearchContacts() {
-        when(contactRepository.findByFirstNameContainingOrLastNameContaining(anyString(), anyString()))
-                .thenReturn(Collections.singletonList(contact));
+        when(contactStore.searchByNameAfter(eq("John"), eq(0L), eq(PageRequest.of(0, ContactService.DEFAULT_SEARCH_LIMIT))))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(contact)));
 
-        List<Contact> result = contactService.searchContacts("John");
+        Slice<Contact> result = contactService.searchContacts("John", null, null);
 
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getFirstName()).isEqualTo("John");
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.getContent().get(0).getFirstName()).isEqualTo("John");
+    }
+
+    @Test
+    void shouldSearchContactsAfterCursor() {
+        when(contactStore.searchByNameAfter(eq("John"), eq(1L), eq(PageRequest.of(0, 20))))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(updatedContact)));
+
+        Slice<Contact> result = contactService.searchContacts("John", 1L, 20);
+
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.getContent().get(0).getLastName()).isEqualTo("Smith");
+    }
+
+    @Test
+    void shouldCapSearchLimit() {
+        when(contactStore.searchByNameAfter(anyString(), anyLong(), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Collections.emptyList()));
+
+        contactService.searchContacts("John", null, ContactService.MAX_SEARCH_LIMIT + 1);
+
+        verify(contactStore).searchByNameAfter("John", 0L, PageRequest.of(0, ContactService.MAX_SEARCH_LIMIT));
+    }
+
+    @Test
+    void shouldThrowExceptionForInvalidSearchLimit() {
+        assertThrows(BadRequestException.class, () -> contactService.searchContacts("John", null, 0));
+    }
+
+    @Test
+    void shouldThrowExceptionForNegativeSearchCursor() {
+        assertThrows(BadRequestException.class, () -> contactService.searchContacts("John", -1L, null));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldStreamSearchContacts() {
+        doAnswer(invocation -> {
+            Consumer<Contact> consumer = invocation.getArgument(1);
+            consumer.accept(contact);
+            consumer.accept(updatedContact);
+            return null;
+        }).when(contactStore).forEachByName(eq("John"), any(Consumer.class));
+        List<Contact> result = new ArrayList<>();
+
+        contactService.streamSearchContacts("John", result::add);
+
+        assertThat(result).containsExactly(contact, updatedContact);
     }
 
     @Test
     void shouldThrowExceptionForEmptySearchQuery() {
-        assertThrows(BadRequestException.class, () -> contactService.searchContacts(""));
+        assertThrows(BadRequestException.class, () -> contactService.searchContacts("", null, null));
     }
 }
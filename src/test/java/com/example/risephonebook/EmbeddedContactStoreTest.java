@@ -0,0 +1,206 @@
+package com.example.risephonebook;
+
+import com.example.risephonebook.entity.Contact;
+import com.example.risephonebook.exception.BadRequestException;
+import com.example.risephonebook.repository.embedded.EmbeddedContactStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.*;
+
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EmbeddedContactStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path logPath;
+    private EmbeddedContactStore store;
+
+    @BeforeEach
+    void setUp() {
+        logPath = tempDir.resolve("contacts.log");
+        store = new EmbeddedContactStore(logPath, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    private Contact contact(String firstName, String lastName, String phone) {
+        return Contact.builder()
+                .firstName(firstName)
+                .lastName(lastName)
+                .phone(phone)
+                .address("123 Main St")
+                .build();
+    }
+
+    private EmbeddedContactStore reopen() {
+        store.close();
+        store = new EmbeddedContactStore(logPath, false);
+        return store;
+    }
+
+    @Test
+    void shouldSaveAndFindContact() {
+        Contact saved = store.save(contact("John", "Doe", "1234567890"));
+
+        assertThat(saved.getId()).isEqualTo(1L);
+        assertThat(store.findById(1L)).contains(saved);
+        assertThat(store.existsById(2L)).isFalse();
+    }
+
+    @Test
+    void shouldReplayLogOnOpen() {
+        store.save(contact("John", "Doe", "1234567890"));
+        Contact jane = store.save(contact("Jane", "Doe", null));
+        jane.setLastName("Smith");
+        store.save(jane);
+        store.deleteById(1L);
+
+        reopen();
+
+        assertThat(store.existsById(1L)).isFalse();
+        assertThat(store.findById(2L).orElseThrow().getLastName()).isEqualTo("Smith");
+        assertThat(store.findById(2L).orElseThrow().getPhone()).isNull();
+        assertThat(store.save(contact("Jim", "Beam", null)).getId()).isEqualTo(3L);
+    }
+
+    @Test
+    void shouldDiscardTornRecordOnOpen() throws Exception {
+        store.save(contact("John", "Doe", "1234567890"));
+        store.save(contact("Jane", "Doe", "1234567890"));
+        long logBytes = store.logBytes();
+        store.close();
+
+        try (RandomAccessFile file = new RandomAccessFile(logPath.toFile(), "rw")) {
+            file.seek(logBytes - 1);
+            file.write(file.read() ^ 0xFF);
+        }
+        store = new EmbeddedContactStore(logPath, false);
+
+        assertThat(store.existsById(1L)).isTrue();
+        assertThat(store.existsById(2L)).isFalse();
+    }
+
+    @Test
+    void shouldThrowWhenDeletingMissingContact() {
+        assertThrows(NoSuchElementException.class, () -> store.deleteById(1L));
+    }
+
+    @Test
+    void shouldFilterSortAndPageContacts() {
+        store.save(contact("John", "Doe", "111"));
+        store.save(contact("Jane", "Doe", "222"));
+        store.save(contact("Jim", "Beam", "333"));
+        store.save(contact("Jack", "Doe", "444"));
+
+        Page<Contact> page = store.findAll(Contact.builder().lastName("Do").build(),
+                PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "firstName")));
+
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).extracting(Contact::getFirstName).containsExactly("Jack");
+    }
+
+    @Test
+    void shouldRejectUnknownSortProperty() {
+        assertThrows(BadRequestException.class,
+                () -> store.findAll(new Contact(), PageRequest.of(0, 10, Sort.by("email"))));
+    }
+
+    @Test
+    void shouldSearchByNameAfterCursor() {
+        store.save(contact("John", "Doe", null));
+        store.save(contact("Jim", "Beam", null));
+        store.save(contact("Jane", "Johnson", null));
+
+        Slice<Contact> first = store.searchByNameAfter("Joh", 0L, PageRequest.of(0, 1));
+        Slice<Contact> second = store.searchByNameAfter("Joh", first.getContent().get(0).getId(), PageRequest.of(0, 1));
+
+        assertThat(first.getContent()).extracting(Contact::getFirstName).containsExactly("John");
+        assertThat(first.hasNext()).isTrue();
+        assertThat(second.getContent()).extracting(Contact::getFirstName).containsExactly("Jane");
+        assertThat(second.hasNext()).isFalse();
+    }
+
+    @Test
+    void shouldStreamContactsByName() {
+        for (int i = 0; i < 1200; i++) {
+            store.save(contact("John" + i, "Doe", null));
+        }
+        List<Contact> result = new ArrayList<>();
+
+        store.forEachByName("John", result::add);
+
+        assertThat(result).hasSize(1200);
+        assertThat(result.get(1199).getId()).isEqualTo(1200L);
+    }
+
+    @Test
+    void shouldCompactSupersededRecords() {
+        Contact john = store.save(contact("John", "Doe", null));
+        for (int i = 0; i < 100; i++) {
+            john.setPhone(String.valueOf(i));
+            store.save(john);
+        }
+        store.save(contact("Jane", "Doe", null));
+        store.deleteById(2L);
+        long before = store.logBytes();
+
+        store.compactIfNeeded();
+
+        assertThat(store.logBytes()).isLessThan(before);
+        reopen();
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.findById(1L).orElseThrow().getPhone()).isEqualTo("99");
+        assertThat(store.save(contact("Jim", "Beam", null)).getId()).isEqualTo(3L);
+    }
+
+    @Test
+    void shouldKeepOriginalLogWhenCompactionFails() throws Exception {
+        Contact john = store.save(contact("John", "Doe", null));
+        john.setPhone("123");
+        store.save(john);
+        Path compactionPath = tempDir.resolve("contacts.log.compact");
+        Files.createDirectories(compactionPath.resolve("blocked"));
+
+        assertThrows(UncheckedIOException.class, () -> store.compact());
+
+        store.save(contact("Jane", "Doe", null));
+        assertThat(store.findById(1L).orElseThrow().getPhone()).isEqualTo("123");
+        Files.delete(compactionPath.resolve("blocked"));
+        Files.delete(compactionPath);
+        reopen();
+        assertThat(store.size()).isEqualTo(2);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkStartupWithMillionContacts() {
+        for (int i = 0; i < 1_000_000; i++) {
+            store.save(contact("First" + i, "Last" + i, String.valueOf(i)));
+        }
+        store.close();
+
+        long start = System.nanoTime();
+        store = new EmbeddedContactStore(logPath, false);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        System.out.println("Recovered " + store.size() + " contacts in " + elapsedMillis + " ms");
+
+        assertThat(store.size()).isEqualTo(1_000_000);
+    }
+}
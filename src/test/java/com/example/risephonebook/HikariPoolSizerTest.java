@@ -0,0 +1,66 @@
+package com.example.risephonebook;
+
+import com.example.risephonebook.config.HikariPoolSizer;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HikariPoolSizerTest {
+
+    @Test
+    void shouldDerivePoolSizeFromCores() {
+        assertThat(new HikariPoolSizer(4, 100, 10, 1, null).poolSize()).isEqualTo(9);
+    }
+
+    @Test
+    void shouldCapPoolSizeAtInstanceShare() {
+        assertThat(new HikariPoolSizer(16, 100, 10, 6, null).poolSize()).isEqualTo(15);
+    }
+
+    @Test
+    void shouldKeepConfiguredPoolSizeWithinShare() {
+        assertThat(new HikariPoolSizer(16, 100, 10, 2, 20).poolSize()).isEqualTo(20);
+    }
+
+    @Test
+    void shouldRejectConfiguredPoolSizeAboveShare() {
+        assertThrows(IllegalStateException.class, () -> new HikariPoolSizer(16, 100, 10, 2, 50).poolSize());
+    }
+
+    @Test
+    void shouldRejectConnectionLimitWithoutShare() {
+        assertThrows(IllegalStateException.class, () -> new HikariPoolSizer(4, 10, 10, 1, null).poolSize());
+    }
+
+    @Test
+    void shouldSizeHikariDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.addDataSourceProperty("prepareThreshold", "5");
+
+        new HikariPoolSizer(2, 100, 10, 1, null).postProcessAfterInitialization(dataSource, "dataSource");
+
+        assertThat(dataSource.getMaximumPoolSize()).isEqualTo(5);
+        assertThat(dataSource.getMinimumIdle()).isEqualTo(5);
+    }
+
+    @Test
+    void shouldRejectDisabledStatementCache() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.addDataSourceProperty("prepareThreshold", "0");
+
+        assertThrows(IllegalStateException.class,
+                () -> new HikariPoolSizer(2, 100, 10, 1, null).postProcessAfterInitialization(dataSource, "dataSource"));
+    }
+
+    @Test
+    void shouldRejectStatementCacheDisabledInJdbcUrl() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:postgresql://localhost:5432/phonebook?ssl=false&prepareThreshold=0");
+        dataSource.addDataSourceProperty("prepareThreshold", "5");
+
+        assertThrows(IllegalStateException.class,
+                () -> new HikariPoolSizer(2, 100, 10, 1, null).postProcessAfterInitialization(dataSource, "dataSource"));
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.risephonebook;
+
+import com.example.risephonebook.entity.Contact;
+import com.example.risephonebook.repository.ContactRepository;
+import com.example.risephonebook.repository.JpaContactStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(JpaContactStore.class)
+class JpaContactStoreTest {
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private JpaContactStore contactStore;
+
+    private Contact john;
+    private Contact jane;
+    private Contact jim;
+    private Contact jack;
+
+    @BeforeEach
+    void setUp() {
+        john = contactRepository.save(contact("John", "Doe", "111", "1 Main St"));
+        jane = contactRepository.save(contact("Jane", "Doe", "222", "100% Main"));
+        jim = contactRepository.save(contact("Jim", "Beam", "333", "2 Oak Ave"));
+        jack = contactRepository.save(contact("J_ck", "Smith", "444", null));
+    }
+
+    private Contact contact(String firstName, String lastName, String phone, String address) {
+        return Contact.builder()
+                .firstName(firstName)
+                .lastName(lastName)
+                .phone(phone)
+                .address(address)
+                .build();
+    }
+
+    private Page<Contact> findAll(Contact probe) {
+        return contactStore.findAll(probe, PageRequest.of(0, 10, Sort.by("id")));
+    }
+
+    @Test
+    void shouldReturnAllContactsWithoutFilters() {
+        Page<Contact> page = findAll(new Contact());
+
+        assertThat(page.getContent()).containsExactly(john, jane, jim, jack);
+        assertThat(page.getTotalElements()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldFilterById() {
+        assertThat(findAll(Contact.builder().id(jim.getId()).build()).getContent()).containsExactly(jim);
+    }
+
+    @Test
+    void shouldFilterByFirstName() {
+        assertThat(findAll(Contact.builder().firstName("Ja").build()).getContent()).containsExactly(jane);
+    }
+
+    @Test
+    void shouldFilterByLastName() {
+        assertThat(findAll(Contact.builder().lastName("Do").build()).getContent()).containsExactly(john, jane);
+    }
+
+    @Test
+    void shouldFilterByPhone() {
+        assertThat(findAll(Contact.builder().phone("33").build()).getContent()).containsExactly(jim);
+    }
+
+    @Test
+    void shouldFilterByAddress() {
+        assertThat(findAll(Contact.builder().address("Main").build()).getContent()).containsExactly(john, jane);
+    }
+
+    @Test
+    void shouldCombineFilters() {
+        assertThat(findAll(Contact.builder().lastName("Doe").phone("22").build()).getContent()).containsExactly(jane);
+        assertThat(findAll(Contact.builder().id(john.getId()).lastName("Doe").build()).getContent()).containsExactly(john);
+        assertThat(findAll(Contact.builder().id(john.getId()).lastName("Beam").build()).getContent()).isEmpty();
+    }
+
+    @Test
+    void shouldMatchWildcardsLiterally() {
+        assertThat(findAll(Contact.builder().firstName("_").build()).getContent()).containsExactly(jack);
+        assertThat(findAll(Contact.builder().address("%").build()).getContent()).containsExactly(jane);
+        assertThat(findAll(Contact.builder().firstName("\\").build()).getContent()).isEmpty();
+    }
+
+    @Test
+    void shouldSortAndPageWithTotalCount() {
+        Page<Contact> page = contactStore.findAll(new Contact(), PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "phone")));
+
+        assertThat(page.getContent()).containsExactly(jane, john);
+        assertThat(page.getTotalElements()).isEqualTo(4);
+        assertThat(page.getTotalPages()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldCountFilteredContactsAcrossPages() {
+        Page<Contact> page = contactStore.findAll(Contact.builder().lastName("Do").build(),
+                PageRequest.of(0, 1, Sort.by(Sort.Direction.ASC, "firstName")));
+
+        assertThat(page.getContent()).containsExactly(jane);
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.hasNext()).isTrue();
+    }
+
+    @Test
+    void shouldSearchWildcardsLiterally() {
+        Slice<Contact> underscore = contactStore.searchByNameAfter("_", 0L, PageRequest.of(0, 10));
+        Slice<Contact> percent = contactStore.searchByNameAfter("%", 0L, PageRequest.of(0, 10));
+
+        assertThat(underscore.getContent()).containsExactly(jack);
+        assertThat(percent.getContent()).isEmpty();
+    }
+
+    @Test
+    void shouldStreamWildcardsLiterally() {
+        List<Contact> result = new ArrayList<>();
+
+        contactStore.forEachByName("J_", result::add);
+
+        assertThat(result).extracting(Contact::getFirstName).containsExactly("J_ck");
+    }
+
+    @Test
+    void shouldStreamAcrossBatchesInIdOrder() {
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            expected.add(contactRepository.save(contact("Batch" + i, "Doe", null, null)).getId());
+        }
+        List<Long> found = new ArrayList<>();
+
+        contactStore.forEachByName("Batch", contact -> found.add(contact.getId()));
+
+        assertThat(found).containsExactlyElementsOf(expected);
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.risephonebook;
+
+import com.example.risephonebook.entity.Contact;
+import com.example.risephonebook.repository.ContactRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ResponseCompressionTest {
+
+    private static final String LISTING = "/api/contacts?size=100&sort=firstName";
+    private static final String COMPACT_LISTING = LISTING + "&compact=true";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    private Contact saved;
+
+    @BeforeEach
+    void setUp() {
+        List<Contact> contacts = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            contacts.add(Contact.builder()
+                    .firstName("John" + i)
+                    .lastName("Doe")
+                    .phone("1234567890")
+                    .address("123 Main St")
+                    .build());
+        }
+        saved = contactRepository.saveAll(contacts).get(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        contactRepository.deleteAll();
+    }
+
+    private HttpResponse<byte[]> send(String path, String accept, boolean gzip) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header(HttpHeaders.ACCEPT, accept);
+        if (gzip) {
+            request.header(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static byte[] gunzip(byte[] body) throws Exception {
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return input.readAllBytes();
+        }
+    }
+
+    @Test
+    void shouldGzipLargeJsonListing() throws Exception {
+        HttpResponse<byte[]> plain = send(LISTING, MediaType.APPLICATION_JSON_VALUE, false);
+        HttpResponse<byte[]> gzipped = send(LISTING, MediaType.APPLICATION_JSON_VALUE, true);
+
+        assertThat(plain.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).isEmpty();
+        assertThat(gzipped.statusCode()).isEqualTo(200);
+        assertThat(gzipped.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).contains("gzip");
+        assertThat(gzipped.body().length).isLessThan(plain.body().length);
+        assertThat(gunzip(gzipped.body())).isEqualTo(plain.body());
+    }
+
+    @Test
+    void shouldGzipLargeCborListing() throws Exception {
+        HttpResponse<byte[]> plain = send(COMPACT_LISTING, MediaType.APPLICATION_CBOR_VALUE, false);
+        HttpResponse<byte[]> gzipped = send(COMPACT_LISTING, MediaType.APPLICATION_CBOR_VALUE, true);
+
+        assertThat(gzipped.headers().firstValue(HttpHeaders.CONTENT_TYPE)).contains(MediaType.APPLICATION_CBOR_VALUE);
+        assertThat(gzipped.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).contains("gzip");
+        assertThat(gunzip(gzipped.body())).isEqualTo(plain.body());
+    }
+
+    @Test
+    void shouldNotGzipResponseBelowThreshold() throws Exception {
+        HttpResponse<byte[]> response = send("/api/contacts/" + saved.getId(), MediaType.APPLICATION_JSON_VALUE, true);
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body().length).isLessThan(1024);
+        assertThat(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).isEmpty();
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkListingEncodings() throws Exception {
+        benchmark("Page JSON", LISTING, MediaType.APPLICATION_JSON_VALUE, false);
+        benchmark("Page JSON gzip", LISTING, MediaType.APPLICATION_JSON_VALUE, true);
+        benchmark("Compact JSON", COMPACT_LISTING, MediaType.APPLICATION_JSON_VALUE, false);
+        benchmark("Compact JSON gzip", COMPACT_LISTING, MediaType.APPLICATION_JSON_VALUE, true);
+        benchmark("Compact CBOR", COMPACT_LISTING, MediaType.APPLICATION_CBOR_VALUE, false);
+        benchmark("Compact CBOR gzip", COMPACT_LISTING, MediaType.APPLICATION_CBOR_VALUE, true);
+    }
+
+    private void benchmark(String name, String path, String accept, boolean gzip) throws Exception {
+        for (int i = 0; i < 500; i++) {
+            send(path, accept, gzip);
+        }
+
+        int iterations = 2000;
+        int bytes = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            bytes = send(path, accept, gzip).body().length;
+        }
+        long elapsedMicros = (System.nanoTime() - start) / 1_000 / iterations;
+        System.out.println(name + ": " + bytes + " bytes, " + elapsedMicros + " us per request");
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.risephonebook;
+
+import com.example.risephonebook.entity.Contact;
+import com.example.risephonebook.repository.sharding.JdbcContactStore;
+import com.example.risephonebook.repository.sharding.ShardedContactStore;
+import com.example.risephonebook.repository.sharding.SnowflakeIdGenerator;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.*;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class ShardedContactStoreTest {
+
+    private static final int SHARD_COUNT = 3;
+
+    private List<JdbcContactStore> shards;
+    private ShardedContactStore store;
+
+    @BeforeEach
+    void setUp() {
+        shards = new ArrayList<>();
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            JdbcDataSource dataSource = new JdbcDataSource();
+            dataSource.setURL("jdbc:h2:mem:shard" + i + "_" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+            JdbcContactStore shard = new JdbcContactStore(dataSource);
+            shard.createTable();
+            shards.add(shard);
+        }
+        store = new ShardedContactStore(shards, new SnowflakeIdGenerator(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    private Contact contact(String firstName, String lastName) {
+        return Contact.builder()
+                .firstName(firstName)
+                .lastName(lastName)
+                .phone("1234567890")
+                .address("123 Main St")
+                .build();
+    }
+
+    private List<Contact> saveContacts(int count) {
+        List<Contact> contacts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            contacts.add(store.save(contact("John" + (count - i), i % 2 == 0 ? "Doe" : "Smith")));
+        }
+        return contacts;
+    }
+
+    @Test
+    void shouldRouteContactToSingleShard() {
+        Contact saved = store.save(contact("John", "Doe"));
+
+        int owner = store.shardOf(saved.getId());
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            assertThat(shards.get(i).existsById(saved.getId())).isEqualTo(i == owner);
+        }
+        assertThat(store.findById(saved.getId())).contains(saved);
+    }
+
+    @Test
+    void shouldFilterByIdOnOwningShardOnly() {
+        List<JdbcContactStore> spies = shards.stream().map(Mockito::spy).collect(Collectors.toList());
+        ShardedContactStore spiedStore = new ShardedContactStore(spies, new SnowflakeIdGenerator(2));
+        Contact saved = spiedStore.save(contact("John", "Doe"));
+
+        Page<Contact> page = spiedStore.findAll(Contact.builder().id(saved.getId()).build(), PageRequest.of(0, 10));
+
+        assertThat(page.getContent()).containsExactly(saved);
+        int owner = spiedStore.shardOf(saved.getId());
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            if (i == owner) {
+                verify(spies.get(i)).findAll(any(Contact.class), any(Pageable.class));
+            } else {
+                verify(spies.get(i), never()).findAll(any(Contact.class), any(Pageable.class));
+            }
+        }
+        spiedStore.close();
+    }
+
+    @Test
+    void shouldSpreadContactsAcrossShards() {
+        saveContacts(300);
+
+        for (JdbcContactStore shard : shards) {
+            assertThat(shard.findAll(new Contact(), PageRequest.of(0, 1)).getTotalElements()).isGreaterThan(50);
+        }
+    }
+
+    @Test
+    void shouldUpdateAndDeleteOnOwningShard() {
+        Contact saved = store.save(contact("John", "Doe"));
+        saved.setLastName("Smith");
+        store.save(saved);
+
+        assertThat(store.findById(saved.getId()).orElseThrow().getLastName()).isEqualTo("Smith");
+
+        store.deleteById(saved.getId());
+
+        assertThat(store.existsById(saved.getId())).isFalse();
+        assertThrows(NoSuchElementException.class, () -> store.deleteById(saved.getId()));
+    }
+
+    @Test
+    void shouldMergeSortedPagesAcrossShards() {
+        List<Contact> contacts = saveContacts(50);
+        List<String> expected = contacts.stream()
+                .filter(contact -> contact.getLastName().equals("Doe"))
+                .map(Contact::getFirstName)
+                .sorted(Comparator.reverseOrder())
+                .skip(10)
+                .limit(10)
+                .collect(Collectors.toList());
+
+        Page<Contact> page = store.findAll(Contact.builder().lastName("Do").build(),
+                PageRequest.of(1, 10, Sort.by(Sort.Direction.DESC, "firstName")));
+
+        assertThat(page.getTotalElements()).isEqualTo(25);
+        assertThat(page.getContent()).extracting(Contact::getFirstName).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void shouldMergeMixedCaseNamesInCodePointOrder() {
+        List<String> names = Arrays.asList("apple", "Banana", "cherry", "Date", "elder", "Fig", "grape", "Honeydew");
+        names.forEach(name -> store.save(contact(name, "Doe")));
+        List<String> expected = names.stream().sorted().collect(Collectors.toList());
+
+        List<String> merged = new ArrayList<>();
+        for (int page = 0; page < 4; page++) {
+            store.findAll(new Contact(), PageRequest.of(page, 2, Sort.by("firstName")))
+                    .forEach(contact -> merged.add(contact.getFirstName()));
+        }
+
+        assertThat(merged).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void shouldSearchAcrossShardsInIdOrder() {
+        List<Contact> contacts = saveContacts(30);
+        List<Long> expected = contacts.stream().map(Contact::getId).sorted().collect(Collectors.toList());
+
+        List<Long> found = new ArrayList<>();
+        long cursor = 0;
+        Slice<Contact> slice;
+        do {
+            slice = store.searchByNameAfter("John", cursor, PageRequest.of(0, 7));
+            slice.forEach(contact -> found.add(contact.getId()));
+            cursor = found.get(found.size() - 1);
+        } while (slice.hasNext());
+
+        assertThat(found).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void shouldStreamAcrossShardsInIdOrder() {
+        List<Contact> contacts = saveContacts(1100);
+        List<Long> expected = contacts.stream().map(Contact::getId).sorted().collect(Collectors.toList());
+        List<Long> found = new ArrayList<>();
+
+        store.forEachByName("John", contact -> found.add(contact.getId()));
+
+        assertThat(found).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void shouldGenerateUniqueIncreasingIds() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(3, () -> 1_800_000_000_000L);
+        long previous = 0;
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            long id = generator.nextId();
+            assertThat(id).isGreaterThan(previous);
+            ids.add(id);
+            previous = id;
+        }
+
+        assertThat(ids).hasSize(10_000);
+    }
+
+    @Test
+    void shouldRejectInvalidWorkerId() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_WORKER_ID + 1));
+    }
+}